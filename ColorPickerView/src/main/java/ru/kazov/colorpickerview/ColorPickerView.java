@@ -17,9 +17,11 @@
 package ru.kazov.colorpickerview;
 
 import android.annotation.SuppressLint;
+import android.app.ActivityManager;
 import android.content.Context;
 import android.graphics.Bitmap;
 import android.graphics.Bitmap.Config;
+import android.graphics.BitmapShader;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.ComposeShader;
@@ -63,8 +65,33 @@ public class ColorPickerView extends View {
     private final Path valueSliderPath;
 
 
+    private final Paint colorWheelBitmapPaint;
+    private final RectF colorWheelRect;
+
     private Bitmap colorWheelBitmap;
+    private int colorWheelBitmapSize;
     private int colorWheelRadius;
+    private int colorWheelShaderRadius;
+
+    /**
+     * Smallest side of a reduced resolution wheel bitmap, below it the shader is drawn directly
+     */
+    private static final int MIN_SCALED_WHEEL_SIZE = 64;
+
+    /**
+     * Requested wheel render mode
+     */
+    private WheelRenderModes wheelRenderMode = WheelRenderModes.AUTO;
+
+    /**
+     * Wheel render mode actually used for current size
+     */
+    private WheelRenderModes resolvedWheelRenderMode = WheelRenderModes.FULL;
+
+    /**
+     * Memory budget for wheel bitmap in bytes
+     */
+    private int wheelMemoryBudget = 4 * 1024 * 1024;
 
     /**
      * Selected color
@@ -111,6 +138,11 @@ public class ColorPickerView extends View {
         colorWheelPaint.setAntiAlias(true);
         colorWheelPaint.setDither(true);
 
+        colorWheelBitmapPaint = new Paint();
+        colorWheelBitmapPaint.setAntiAlias(true);
+        colorWheelBitmapPaint.setFilterBitmap(true);
+        colorWheelRect = new RectF();
+
         colorWheelPointerPaint = new Paint();
         colorWheelPointerPaint.setStyle(Style.STROKE);
         colorWheelPointerPaint.setStrokeWidth(2f);
@@ -213,6 +245,54 @@ public class ColorPickerView extends View {
         return list;
     }
 
+    /**
+     * Sets how the color wheel is rendered
+     *
+     * @param wheelRenderMode ColorPickerView.WheelRenderModes Enums can be AUTO, FULL, SCALED,
+     *                        RGB_565, SHADER
+     */
+    public void setWheelRenderMode(WheelRenderModes wheelRenderMode) {
+        this.wheelRenderMode = wheelRenderMode;
+        updateColorWheel();
+    }
+
+    /**
+     * Getter for requested wheel render mode
+     *
+     * @return ColorPickerView.WheelRenderModes Enums can be AUTO, FULL, SCALED, RGB_565, SHADER
+     */
+    public WheelRenderModes getWheelRenderMode() {
+        return this.wheelRenderMode;
+    }
+
+    /**
+     * Sets memory budget for color wheel bitmap. Used by AUTO and SCALED modes
+     *
+     * @param bytes budget in bytes
+     */
+    public void setWheelMemoryBudget(int bytes) {
+        this.wheelMemoryBudget = Math.max(0, bytes);
+        updateColorWheel();
+    }
+
+    /**
+     * Getter for color wheel memory budget
+     *
+     * @return budget in bytes
+     */
+    public int getWheelMemoryBudget() {
+        return this.wheelMemoryBudget;
+    }
+
+    /**
+     * Getter for memory used by color wheel bitmap of this view
+     *
+     * @return allocated bytes, 0 if wheel is drawn without bitmap
+     */
+    public int getWheelBitmapByteCount() {
+        return colorWheelBitmap == null ? 0 : colorWheelBitmap.getAllocationByteCount();
+    }
+
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
         int widthSize = MeasureSpec.getSize(widthMeasureSpec);
@@ -227,7 +307,8 @@ public class ColorPickerView extends View {
         centerX = wheelSize / 2;
         centerY = wheelSize / 2;
         colorWheelRadius = wheelSize / 2;
-        colorWheelBitmap = createColorWheelBitmap();
+        colorWheelRect.set(centerX - colorWheelRadius, centerY - colorWheelRadius, centerX + colorWheelRadius, centerY + colorWheelRadius);
+        updateColorWheel();
         valueSliderRect.set((wheelWidthRatio + wheelPaddingRatio) * viewWidth, 0, viewWidth, viewHeight);
         valueSliderPath.addRect(valueSliderRect, Path.Direction.CCW);
     }
@@ -235,7 +316,7 @@ public class ColorPickerView extends View {
     @SuppressLint("DrawAllocation")
     @Override
     protected void onDraw(Canvas canvas) {
-        canvas.drawBitmap(colorWheelBitmap, centerX - colorWheelRadius, centerY - colorWheelRadius, null);
+        drawColorWheel(canvas);
 
         float[] tmpHsv = new float[]{hsvColor[0], hsvColor[1], 1f};
         LinearGradient linearGradient = new LinearGradient(viewWidth, viewHeight, viewWidth, 0, new int[]{Color.BLACK, Color.HSVToColor(tmpHsv)}, null, TileMode.REPEAT);
@@ -246,9 +327,110 @@ public class ColorPickerView extends View {
         drawValuePointer(canvas);
     }
 
-    private Bitmap createColorWheelBitmap() {
-        Bitmap bitmap = Bitmap.createBitmap(colorWheelRadius * 2, colorWheelRadius * 2, Config.ARGB_8888);
+    private void updateColorWheel() {
+        if (colorWheelRadius <= 0)
+            return;
+
+        int size = colorWheelRadius * 2;
+        WheelRenderModes mode = resolveWheelRenderMode(wheelRenderMode, size, wheelMemoryBudget, isLowRamDevice());
+        int bitmapSize = getWheelBitmapSize(mode, size, wheelMemoryBudget);
+        if (mode == resolvedWheelRenderMode && bitmapSize == colorWheelBitmapSize && colorWheelRadius == colorWheelShaderRadius)
+            return;
+
+        resolvedWheelRenderMode = mode;
+        colorWheelBitmapSize = bitmapSize;
+        colorWheelShaderRadius = colorWheelRadius;
+        colorWheelBitmap = null;
+        colorWheelBitmapPaint.setShader(null);
+        colorWheelPaint.setShader(createColorWheelShader(colorWheelRadius));
+
+        switch (mode) {
+            case FULL:
+            case SCALED:
+                colorWheelBitmap = createColorWheelBitmap(bitmapSize, Config.ARGB_8888);
+                break;
+            case RGB_565:
+                colorWheelBitmap = createColorWheelBitmap(bitmapSize, Config.RGB_565);
+                colorWheelBitmapPaint.setShader(new BitmapShader(colorWheelBitmap, TileMode.CLAMP, TileMode.CLAMP));
+                break;
+            case SHADER:
+                break;
+        }
+        invalidate();
+    }
+
+    /**
+     * Resolves wheel render mode for wheel size and memory budget
+     *
+     * @param mode   requested render mode
+     * @param size   wheel side in pixels
+     * @param budget memory budget in bytes
+     * @param lowRam is device low RAM
+     * @return render mode to use, never AUTO
+     */
+    static WheelRenderModes resolveWheelRenderMode(WheelRenderModes mode, int size, int budget, boolean lowRam) {
+        switch (mode) {
+            case AUTO:
+                if (lowRam)
+                    return WheelRenderModes.SHADER;
+                if ((long) size * size * 4 <= budget)
+                    return WheelRenderModes.FULL;
+                if ((long) size * size * 2 <= budget)
+                    return WheelRenderModes.RGB_565;
+                return getScaledWheelSize(size, budget) >= MIN_SCALED_WHEEL_SIZE ? WheelRenderModes.SCALED : WheelRenderModes.SHADER;
+            case SCALED:
+                return getScaledWheelSize(size, budget) >= MIN_SCALED_WHEEL_SIZE ? WheelRenderModes.SCALED : WheelRenderModes.SHADER;
+            default:
+                return mode;
+        }
+    }
+
+    /**
+     * Side of wheel bitmap for resolved render mode
+     *
+     * @param mode   resolved render mode
+     * @param size   wheel side in pixels
+     * @param budget memory budget in bytes
+     * @return bitmap side in pixels, 0 if no bitmap is used
+     */
+    static int getWheelBitmapSize(WheelRenderModes mode, int size, int budget) {
+        switch (mode) {
+            case SCALED:
+                return getScaledWheelSize(size, budget);
+            case SHADER:
+                return 0;
+            default:
+                return size;
+        }
+    }
 
+    private static int getScaledWheelSize(int size, int budget) {
+        return Math.min(size, (int) Math.sqrt(budget / 4.0));
+    }
+
+    private boolean isLowRamDevice() {
+        ActivityManager activityManager = (ActivityManager) getContext().getSystemService(Context.ACTIVITY_SERVICE);
+        return activityManager != null && activityManager.isLowRamDevice();
+    }
+
+    private void drawColorWheel(Canvas canvas) {
+        switch (resolvedWheelRenderMode) {
+            case FULL:
+                canvas.drawBitmap(colorWheelBitmap, colorWheelRect.left, colorWheelRect.top, null);
+                break;
+            case SCALED:
+                canvas.drawBitmap(colorWheelBitmap, null, colorWheelRect, colorWheelBitmapPaint);
+                break;
+            case RGB_565:
+                canvas.drawCircle(centerX, centerY, colorWheelRadius, colorWheelBitmapPaint);
+                break;
+            case SHADER:
+                canvas.drawCircle(centerX, centerY, colorWheelRadius, colorWheelPaint);
+                break;
+        }
+    }
+
+    private ComposeShader createColorWheelShader(float radius) {
         int[] colors = new int[13];
         float[] hsv = new float[]{0f, 1f, 1f};
         for (int i = 0; i < colors.length; i++) {
@@ -257,13 +439,24 @@ public class ColorPickerView extends View {
         }
         colors[12] = colors[0];
 
-        SweepGradient sweepGradient = new SweepGradient(colorWheelRadius, colorWheelRadius, colors, null);
-        RadialGradient radialGradient = new RadialGradient(colorWheelRadius, colorWheelRadius, colorWheelRadius, 0xFFFFFFFF, 0x00FFFFFF, TileMode.CLAMP);
-        ComposeShader composeShader = new ComposeShader(sweepGradient, radialGradient, PorterDuff.Mode.SRC_OVER);
-        colorWheelPaint.setShader(composeShader);
+        SweepGradient sweepGradient = new SweepGradient(radius, radius, colors, null);
+        RadialGradient radialGradient = new RadialGradient(radius, radius, radius, 0xFFFFFFFF, 0x00FFFFFF, TileMode.CLAMP);
+        return new ComposeShader(sweepGradient, radialGradient, PorterDuff.Mode.SRC_OVER);
+    }
+
+    private Bitmap createColorWheelBitmap(int size, Config config) {
+        Bitmap bitmap = Bitmap.createBitmap(size, size, config);
+        float radius = size / 2f;
+
+        Paint paint = new Paint(colorWheelPaint);
+        if (size != colorWheelRadius * 2)
+            paint.setShader(createColorWheelShader(radius));
 
         Canvas canvas = new Canvas(bitmap);
-        canvas.drawCircle(colorWheelRadius, colorWheelRadius, colorWheelRadius, colorWheelPaint);
+        if (config == Config.RGB_565)
+            canvas.drawPaint(paint);
+        else
+            canvas.drawCircle(radius, radius, radius, paint);
 
         return bitmap;
     }
@@ -451,4 +644,15 @@ public class ColorPickerView extends View {
     public enum HarmonyTypes {
         NONE, COMPLEMENTARY, SPLIT_COMPLEMENTARY, ANALOGOUS, ANALOGOUS_ACCENT, TRIADIC, SQUARE, TETRADIC_PLUS, TETRADIC_MINUS, CLASH, FIVE_TONE, SIX_TONE
     }
+
+    /**
+     * AUTO - chosen by memory budget, SHADER on low RAM devices
+     * FULL - full resolution ARGB_8888 bitmap
+     * SCALED - reduced resolution ARGB_8888 bitmap drawn with filtering
+     * RGB_565 - full resolution RGB_565 bitmap drawn in circle
+     * SHADER - no bitmap, shader drawn every frame
+     */
+    public enum WheelRenderModes {
+        AUTO, FULL, SCALED, RGB_565, SHADER
+    }
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package ru.kazov.colorpickerview;
+
+import org.junit.Test;
+
+import ru.kazov.colorpickerview.ColorPickerView.WheelRenderModes;
+
+import static org.junit.Assert.*;
+
+/**
+ * Wheel render mode and bitmap size resolution for memory budget.
+ */
+public class WheelRenderModeUnitTest {
+
+    private static final int DEFAULT_BUDGET = 4 * 1024 * 1024;
+
+    private static WheelRenderModes resolve(WheelRenderModes mode, int size, int budget) {
+        return ColorPickerView.resolveWheelRenderMode(mode, size, budget, false);
+    }
+
+    private static int bitmapSize(WheelRenderModes mode, int size, int budget) {
+        return ColorPickerView.getWheelBitmapSize(resolve(mode, size, budget), size, budget);
+    }
+
+    @Test
+    public void auto_phone_isFull() {
+        assertEquals(WheelRenderModes.FULL, resolve(WheelRenderModes.AUTO, 864, DEFAULT_BUDGET));
+        assertEquals(864, bitmapSize(WheelRenderModes.AUTO, 864, DEFAULT_BUDGET));
+    }
+
+    @Test
+    public void auto_tablet_isRgb565() {
+        assertEquals(WheelRenderModes.RGB_565, resolve(WheelRenderModes.AUTO, 1280, DEFAULT_BUDGET));
+        assertEquals(1280, bitmapSize(WheelRenderModes.AUTO, 1280, DEFAULT_BUDGET));
+    }
+
+    @Test
+    public void auto_tv_isScaled() {
+        assertEquals(WheelRenderModes.SCALED, resolve(WheelRenderModes.AUTO, 3072, DEFAULT_BUDGET));
+        assertEquals(1024, bitmapSize(WheelRenderModes.AUTO, 3072, DEFAULT_BUDGET));
+    }
+
+    @Test
+    public void auto_thresholds() {
+        assertEquals(WheelRenderModes.FULL, resolve(WheelRenderModes.AUTO, 1024, DEFAULT_BUDGET));
+        assertEquals(WheelRenderModes.RGB_565, resolve(WheelRenderModes.AUTO, 1025, DEFAULT_BUDGET));
+        assertEquals(WheelRenderModes.RGB_565, resolve(WheelRenderModes.AUTO, 1448, DEFAULT_BUDGET));
+        assertEquals(WheelRenderModes.SCALED, resolve(WheelRenderModes.AUTO, 1449, DEFAULT_BUDGET));
+    }
+
+    @Test
+    public void auto_tinyBudget_isShader() {
+        assertEquals(WheelRenderModes.SCALED, resolve(WheelRenderModes.AUTO, 864, 64 * 64 * 4));
+        assertEquals(64, bitmapSize(WheelRenderModes.AUTO, 864, 64 * 64 * 4));
+        assertEquals(WheelRenderModes.SHADER, resolve(WheelRenderModes.AUTO, 864, 64 * 64 * 4 - 1));
+        assertEquals(0, bitmapSize(WheelRenderModes.AUTO, 864, 64 * 64 * 4 - 1));
+    }
+
+    @Test
+    public void auto_lowRam_isShader() {
+        assertEquals(WheelRenderModes.SHADER, ColorPickerView.resolveWheelRenderMode(WheelRenderModes.AUTO, 864, DEFAULT_BUDGET, true));
+    }
+
+    @Test
+    public void scaled_largeBudget_isFullSize() {
+        assertEquals(WheelRenderModes.SCALED, resolve(WheelRenderModes.SCALED, 864, DEFAULT_BUDGET));
+        assertEquals(864, bitmapSize(WheelRenderModes.SCALED, 864, DEFAULT_BUDGET));
+    }
+
+    @Test
+    public void scaled_tinyBudget_isShader() {
+        assertEquals(WheelRenderModes.SHADER, resolve(WheelRenderModes.SCALED, 864, 1024));
+    }
+
+    @Test
+    public void explicitModes_ignoreBudget() {
+        assertEquals(WheelRenderModes.FULL, resolve(WheelRenderModes.FULL, 3072, DEFAULT_BUDGET));
+        assertEquals(3072, bitmapSize(WheelRenderModes.FULL, 3072, DEFAULT_BUDGET));
+        assertEquals(WheelRenderModes.RGB_565, resolve(WheelRenderModes.RGB_565, 3072, DEFAULT_BUDGET));
+        assertEquals(WheelRenderModes.SHADER, resolve(WheelRenderModes.SHADER, 864, DEFAULT_BUDGET));
+    }
+}